@@ -0,0 +1,162 @@
+package com.novel.forge.mapper;
+
+import com.novel.forge.entity.Chapter;
+import com.novel.forge.entity.Conversation;
+import com.novel.forge.entity.Message;
+import com.novel.forge.entity.Novel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+// Close the context (and the H2 database) before JUnit removes the temp directory.
+@DirtiesContext
+class EmbeddedStorageMapperTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void storageDir(DynamicPropertyRegistry registry) {
+        registry.add("novel-forge.storage.data-dir", () -> dataDir.toString());
+    }
+
+    @Autowired
+    private NovelMapper novelMapper;
+
+    @Autowired
+    private ChapterMapper chapterMapper;
+
+    @Autowired
+    private ConversationMapper conversationMapper;
+
+    @Autowired
+    private MessageMapper messageMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void flywayAppliesInitialMigration() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE version = '1' AND success = TRUE", Integer.class);
+        assertEquals(1, applied);
+    }
+
+    @Test
+    void embeddedPoolSizeIsExposedAsMetrics() {
+        assertEquals(4.0, meterRegistry.get("hikaricp.connections.max")
+                .tag("pool", "novel-forge-pool").gauge().value());
+        assertEquals(4.0, meterRegistry.get("hikaricp.connections.min")
+                .tag("pool", "novel-forge-pool").gauge().value());
+    }
+
+    @Test
+    void novelAndChapterCrud() {
+        Novel novel = new Novel();
+        novel.setTitle("The Forge");
+        novel.setDescription("A story");
+        novelMapper.insert(novel);
+        assertNotNull(novel.getId());
+
+        Novel saved = novelMapper.findById(novel.getId());
+        assertEquals("The Forge", saved.getTitle());
+        assertNotNull(saved.getCreatedAt());
+
+        novel.setTitle("The Forge, Revised");
+        novelMapper.update(novel);
+        assertEquals("The Forge, Revised", novelMapper.findById(novel.getId()).getTitle());
+
+        StringBuilder longContent = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            longContent.append("Chapter text ");
+        }
+        Chapter chapter = new Chapter();
+        chapter.setNovelId(novel.getId());
+        chapter.setTitle("Chapter 1");
+        chapter.setContent(longContent.toString());
+        chapterMapper.insert(chapter);
+        assertNotNull(chapter.getId());
+
+        Chapter savedChapter = chapterMapper.findById(chapter.getId());
+        assertEquals(longContent.toString(), savedChapter.getContent());
+        assertNotNull(savedChapter.getUpdatedAt());
+
+        chapter.setContent("Rewritten");
+        chapterMapper.update(chapter);
+        assertEquals("Rewritten", chapterMapper.findById(chapter.getId()).getContent());
+        assertEquals(1, chapterMapper.findByNovelId(novel.getId()).size());
+
+        Chapter second = new Chapter();
+        second.setNovelId(novel.getId());
+        second.setTitle("Chapter 2");
+        chapterMapper.insert(second);
+        chapterMapper.deleteById(second.getId());
+        assertNull(chapterMapper.findById(second.getId()));
+
+        novelMapper.deleteById(novel.getId());
+        assertNull(novelMapper.findById(novel.getId()));
+        assertNull(chapterMapper.findById(chapter.getId()), "chapters should cascade with their novel");
+    }
+
+    @Test
+    void conversationAndMessageCrud() {
+        Conversation conversation = new Conversation();
+        conversation.setTitle("Plot ideas");
+        conversationMapper.insert(conversation);
+        assertNotNull(conversation.getId());
+        assertEquals("Plot ideas", conversationMapper.findById(conversation.getId()).getTitle());
+
+        conversation.setTitle("Plot ideas, part 2");
+        conversationMapper.update(conversation);
+        assertEquals("Plot ideas, part 2", conversationMapper.findById(conversation.getId()).getTitle());
+        assertTrue(conversationMapper.findAll().stream().anyMatch(c -> c.getId().equals(conversation.getId())));
+
+        Message question = new Message();
+        question.setConversationId(conversation.getId());
+        question.setRole("user");
+        question.setContent("What happens next?");
+        messageMapper.insert(question);
+        assertNotNull(question.getId());
+
+        Message answer = new Message();
+        answer.setConversationId(conversation.getId());
+        answer.setRole("assistant");
+        answer.setContent("The hero returns.");
+        messageMapper.insert(answer);
+
+        List<Message> messages = messageMapper.findByConversationId(conversation.getId());
+        assertEquals(2, messages.size());
+        assertNotNull(messages.get(0).getCreatedAt());
+
+        messageMapper.deleteByConversationId(conversation.getId());
+        assertTrue(messageMapper.findByConversationId(conversation.getId()).isEmpty());
+
+        Message orphan = new Message();
+        orphan.setConversationId(conversation.getId());
+        orphan.setRole("user");
+        orphan.setContent("Still there?");
+        messageMapper.insert(orphan);
+
+        conversationMapper.deleteById(conversation.getId());
+        assertNull(conversationMapper.findById(conversation.getId()));
+        assertTrue(messageMapper.findByConversationId(conversation.getId()).isEmpty(),
+                "messages should cascade with their conversation");
+    }
+}